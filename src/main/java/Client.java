@@ -16,18 +16,21 @@
 
 
 import com.google.gson.reflect.TypeToken;
+import handlers.CompressionHandler;
 import handlers.DataHandler;
 import handlers.JobHandler;
 import handlers.ModelHandler;
-import models.Job;
+import handlers.PredictionHandler;
 import models.Model;
 import models.ModelIDs;
-import org.infai.ses.platonam.util.Compression;
+import models.ResultValues;
+import models.TimeOrderedData;
 import org.infai.ses.platonam.util.HttpRequest;
 import org.infai.ses.platonam.util.Json;
 import org.infai.ses.senergy.operators.BaseOperator;
 import org.infai.ses.senergy.operators.Message;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -45,6 +48,7 @@ public class Client extends BaseOperator {
     private final DataHandler dataHandler;
     private final ModelHandler modelHandler;
     private final JobHandler jobHandler;
+    private final CompressionHandler compressionHandler;
     private final boolean compressedInput;
     private final long requestPollDelay;
     private final long requestMaxRetries;
@@ -53,10 +57,11 @@ public class Client extends BaseOperator {
     private final String serviceID;
     private final boolean skipOnMissing;
 
-    public Client(DataHandler dataHandler, ModelHandler modelHandler, JobHandler jobHandler, boolean compressedInput, long requestPollDelay, long requestMaxRetries, boolean fixFeatures, String deviceID, String serviceID, boolean skipOnMissing) {
+    public Client(DataHandler dataHandler, ModelHandler modelHandler, JobHandler jobHandler, CompressionHandler compressionHandler, boolean compressedInput, long requestPollDelay, long requestMaxRetries, boolean fixFeatures, String deviceID, String serviceID, boolean skipOnMissing) {
         this.dataHandler = dataHandler;
         this.modelHandler = modelHandler;
         this.jobHandler = jobHandler;
+        this.compressionHandler = compressionHandler;
         this.compressedInput = compressedInput;
         this.requestPollDelay = requestPollDelay;
         this.requestMaxRetries = requestMaxRetries;
@@ -87,11 +92,11 @@ public class Client extends BaseOperator {
         }
     }
 
-    private String createJob(List<Model> models) throws InterruptedException, HttpRequest.HttpRequestException {
+    private String createJob(List<Model> models, boolean sortedData) throws InterruptedException, HttpRequest.HttpRequestException {
         String jobID;
         for (int i = 0; i <= requestMaxRetries; i++) {
             try {
-                jobID = jobHandler.createJob(models);
+                jobID = jobHandler.createJob(models, sortedData);
                 logger.fine("created job " + jobID);
                 return jobID;
             } catch (HttpRequest.HttpRequestException e) {
@@ -121,14 +126,14 @@ public class Client extends BaseOperator {
         }
     }
 
-    private Map<String, List<Object>> getJobResult(String jobID) throws InterruptedException, HttpRequest.HttpRequestException, JobHandler.JobNotDoneException, JobHandler.JobFailedException {
+    private Map<String, ResultValues> getJobResult(String jobID) throws InterruptedException, IOException, JobHandler.JobNotDoneException, JobHandler.JobFailedException, JobHandler.InvalidResponseException {
         logger.fine("waiting for job " + jobID + " to complete ...");
         for (int i = 0; i <= requestMaxRetries; i++) {
             try {
-                Job.Reduced job = jobHandler.getJob(jobID);
+                Map<String, ResultValues> jobResult = jobHandler.getJobResult(jobID);
                 logger.fine("retrieved results from job " + jobID);
-                return job.result;
-            } catch (HttpRequest.HttpRequestException e) {
+                return jobResult;
+            } catch (IOException e) {
                 if (i == requestMaxRetries) {
                     logger.severe("retrieving results from job " + jobID + " failed");
                     throw e;
@@ -143,6 +148,9 @@ public class Client extends BaseOperator {
             } catch (JobHandler.JobFailedException e) {
                 logger.severe("job " + jobID + " failed - " + e.getMessage());
                 throw e;
+            } catch (JobHandler.InvalidResponseException e) {
+                logger.severe("invalid response for job " + jobID + " - " + e.getMessage());
+                throw e;
             }
         }
         throw new InterruptedException();
@@ -154,14 +162,20 @@ public class Client extends BaseOperator {
         Map<?, ?> inputSource;
         try {
             if (compressedInput) {
-                InputStream inputStream = Compression.decompressToStream(message.getInput("data").getString());
-                data = Json.fromStreamToList(inputStream, new TypeToken<>() {
-                });
+                try (InputStream inputStream = compressionHandler.decompressToStream(message.getInput("data").getString())) {
+                    data = Json.fromStreamToList(inputStream, new TypeToken<>() {
+                    });
+                }
             } else {
                 data = Json.fromString(message.getInput("data").getString(), new TypeToken<>() {
                 });
             }
             logger.info("received message containing " + data.size() + " data points ...");
+            TimeOrderedData orderedData = dataHandler.orderByTime(data);
+            if (!orderedData.presorted) {
+                logger.info("sorted data points by timestamp");
+            }
+            data = orderedData.data;
             logger.info("retrieving model IDs ...");
             ModelIDs modelIDs = null;
             for (int i = 0; i <= requestMaxRetries; i++) {
@@ -196,9 +210,9 @@ public class Client extends BaseOperator {
             } else {
                 throw new Exception("no models available");
             }
-            Map<String, Object> predictions = new HashMap<>();
+            PredictionHandler predictionHandler = new PredictionHandler();
             for (int key : models.keySet()) {
-                String jobID = createJob(models.get(key));
+                String jobID = createJob(models.get(key), orderedData.ordered);
                 String csvData;
                 if (fixFeatures) {
                     csvData = dataHandler.getCSV(data, models.get(key).get(0).default_values, models.get(key).get(0).columns);
@@ -209,24 +223,17 @@ public class Client extends BaseOperator {
 //                writer.write(csvData);
 //                writer.close();
                 addDataToJob(csvData, jobID);
-                Map<String, List<Object>> jobResult = getJobResult(jobID);
-                for (String resKey : jobResult.keySet()) {
-                    if (!predictions.containsKey(resKey)) {
-                        predictions.put(resKey, new ArrayList<>());
-                    }
-                    List<Object> result = (List<Object>) predictions.get(resKey);
-                    result.addAll(jobResult.get(resKey));
-                }
+                predictionHandler.addJobResult(getJobResult(jobID));
             }
-            List<String> startAndEndTime = dataHandler.getStartAndEndTimestamp(data);
-            message.output("start_time", startAndEndTime.get(0));
-            message.output("end_time", startAndEndTime.get(1));
+            message.output("start_time", orderedData.startTimestamp);
+            message.output("end_time", orderedData.endTimestamp);
             message.output("device_id", deviceID);
             message.output("service_id", serviceID);
-            message.output("predictions", Json.toString(new TypeToken<Map<String, Object>>() {
-            }.getType(), predictions));
-        } catch (HttpRequest.HttpRequestException | JobHandler.JobFailedException | JobHandler.JobNotDoneException e) {
+            message.output("predictions", predictionHandler.getPredictions());
+        } catch (HttpRequest.HttpRequestException | JobHandler.JobFailedException | JobHandler.JobNotDoneException | JobHandler.InvalidResponseException e) {
             logger.severe("error handling message");
+        } catch (IOException e) {
+            logger.severe("error handling message - " + e.getMessage());
         } catch (Throwable t) {
             logger.severe("error handling message:");
             t.printStackTrace();
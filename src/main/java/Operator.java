@@ -15,6 +15,7 @@
  */
 
 
+import handlers.CompressionHandler;
 import handlers.DataHandler;
 import handlers.JobHandler;
 import handlers.ModelHandler;
@@ -40,12 +41,14 @@ public class Operator {
                 config.getConfigValue("service_id", null)
         );
         JobHandler jobHandler = new JobHandler(
-                config.getConfigValue("worker_url", null)
+                config.getConfigValue("worker_url", null),
+                Integer.parseInt(config.getConfigValue("request_timeout", "60"))
         );
         Client client = new Client(
                 dataHandler,
                 modelHandler,
                 jobHandler,
+                new CompressionHandler(),
                 Boolean.parseBoolean(config.getConfigValue("compressed_input", "false")),
                 Long.parseLong(config.getConfigValue("request_poll_delay", "15")),
                 Long.parseLong(config.getConfigValue("request_max_retries", "240")),
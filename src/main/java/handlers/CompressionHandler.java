@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package handlers;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Decompresses Base64 encoded gzip data without materializing the decoded bytes.
+ * The returned stream decodes the given string chunk by chunk into buffers owned by the handler
+ * and inflates on demand, therefore only one stream per handler may be read at a time.
+ */
+public class CompressionHandler {
+
+    private final int bufferSize;
+    private final byte[] encodedBuffer;
+    private final byte[] decodedBuffer;
+    private final byte[][] groupBuffers = {new byte[0], new byte[1], new byte[2], new byte[3], new byte[4]};
+    private final byte[] decodedGroup = new byte[3];
+
+    public CompressionHandler(int bufferSize) {
+        if (bufferSize < 4) {
+            throw new RuntimeException("invalid buffer size: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.encodedBuffer = new byte[bufferSize - bufferSize % 4];
+        this.decodedBuffer = new byte[encodedBuffer.length / 4 * 3];
+    }
+
+    public CompressionHandler() {
+        this(64 * 1024);
+    }
+
+    public InputStream decompressToStream(String str) throws IOException {
+        return new GZIPInputStream(new Base64InputStream(str), bufferSize);
+    }
+
+    private class Base64InputStream extends InputStream {
+        private final Base64.Decoder decoder = Base64.getDecoder();
+        private final String str;
+        private int strPos = 0;
+        private int pos = 0;
+        private int limit = 0;
+
+        private Base64InputStream(String str) {
+            this.str = str;
+        }
+
+        private int decodeTail(int count) {
+            int length = 0;
+            for (int i = 0; i < count; i += 4) {
+                byte[] group = groupBuffers[Math.min(4, count - i)];
+                System.arraycopy(encodedBuffer, i, group, 0, group.length);
+                int groupLength = decoder.decode(group, decodedGroup);
+                System.arraycopy(decodedGroup, 0, decodedBuffer, length, groupLength);
+                length += groupLength;
+            }
+            return length;
+        }
+
+        private boolean fill() throws IOException {
+            int count = Math.min(encodedBuffer.length, str.length() - strPos);
+            if (count <= 0) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                char c = str.charAt(strPos);
+                if (c > 0x7f) {
+                    throw new IOException("illegal base64 character at index " + strPos);
+                }
+                encodedBuffer[i] = (byte) c;
+                strPos++;
+            }
+            try {
+                limit = count == encodedBuffer.length ? decoder.decode(encodedBuffer, decodedBuffer) : decodeTail(count);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            pos = 0;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (pos == limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            return decodedBuffer[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (pos == limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            int count = Math.min(len, limit - pos);
+            System.arraycopy(decodedBuffer, pos, b, off, count);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return limit - pos;
+        }
+    }
+}
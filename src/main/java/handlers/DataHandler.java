@@ -17,6 +17,14 @@
 
 package handlers;
 
+import models.TimeOrderedData;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -115,10 +123,80 @@ public class DataHandler {
         return buildCSV(data, getHeader(data, safeColumns), defaultValues);
     }
 
-    public List<String> getStartAndEndTimestamp(List<Map<String, Object>> data) {
-        List<String> timestamps = new ArrayList<>();
-        timestamps.add((String) data.get(0).get(timeField));
-        timestamps.add((String) data.get(data.size() - 1).get(timeField));
-        return timestamps;
+    private String getTimestamp(Map<String, Object> item) {
+        Object obj = item.get(timeField);
+        return obj != null ? getValue(obj, null) : null;
+    }
+
+    private Instant parseTimestamp(String timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        try {
+            TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(timestamp, Instant::from, LocalDateTime::from);
+            if (temporal instanceof Instant) {
+                return (Instant) temporal;
+            }
+            return ((LocalDateTime) temporal).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private TimeOrderedData getOrderedData(List<Map<String, Object>> data, boolean presorted, int invalid) {
+        if (invalid > 0) {
+            logger.fine(invalid + " data points without valid '" + timeField + "' placed last");
+        }
+        String startTimestamp = null;
+        String endTimestamp = null;
+        for (int i = 0; i < data.size() && startTimestamp == null; i++) {
+            String timestamp = getTimestamp(data.get(i));
+            if (parseTimestamp(timestamp) != null) {
+                startTimestamp = timestamp;
+            }
+        }
+        for (int i = data.size() - 1; i >= 0 && endTimestamp == null; i--) {
+            String timestamp = getTimestamp(data.get(i));
+            if (parseTimestamp(timestamp) != null) {
+                endTimestamp = timestamp;
+            }
+        }
+        return new TimeOrderedData(data, presorted, invalid == 0, startTimestamp, endTimestamp);
+    }
+
+    private TimeOrderedData sortByTime(List<Map<String, Object>> data) {
+        Instant[] keys = new Instant[data.size()];
+        int invalid = 0;
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = parseTimestamp(getTimestamp(data.get(i)));
+            if (keys[i] == null) {
+                invalid++;
+            }
+            order[i] = i;
+        }
+        Arrays.parallelSort(order, Comparator.comparing(i -> keys[i], Comparator.nullsLast(Comparator.naturalOrder())));
+        List<Map<String, Object>> sortedData = new ArrayList<>(order.length);
+        for (int i : order) {
+            sortedData.add(data.get(i));
+        }
+        return getOrderedData(sortedData, false, invalid);
+    }
+
+    public TimeOrderedData orderByTime(List<Map<String, Object>> data) {
+        Instant previous = null;
+        int invalid = 0;
+        for (Map<String, Object> item : data) {
+            Instant current = parseTimestamp(getTimestamp(item));
+            if (current == null) {
+                invalid++;
+                continue;
+            }
+            if (invalid > 0 || (previous != null && current.isBefore(previous))) {
+                return sortByTime(data);
+            }
+            previous = current;
+        }
+        return getOrderedData(data, true, invalid);
     }
 }
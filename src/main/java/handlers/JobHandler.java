@@ -18,30 +18,55 @@
 package handlers;
 
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import models.Job;
 import models.Model;
+import models.ResultValues;
 import org.infai.ses.platonam.util.HttpRequest;
 import org.infai.ses.platonam.util.Json;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import static org.infai.ses.platonam.util.HttpRequest.httpGet;
 import static org.infai.ses.platonam.util.HttpRequest.httpPost;
 
 
 public class JobHandler {
     private final String workerURL;
+    private final RequestConfig requestConfig;
 
-    public JobHandler(String workerURL) {
+    public JobHandler(String workerURL, int requestTimeout) {
         if (workerURL == null || workerURL.isBlank()) {
             throw new RuntimeException("invalid worker_url: " + workerURL);
         }
+        if (requestTimeout <= 0) {
+            throw new RuntimeException("invalid request_timeout: " + requestTimeout);
+        }
         this.workerURL = workerURL;
+        this.requestConfig = RequestConfig.custom()
+                .setConnectTimeout(requestTimeout * 1000)
+                .setConnectionRequestTimeout(requestTimeout * 1000)
+                .setSocketTimeout(requestTimeout * 1000)
+                .build();
     }
 
-    public String createJob(List<Model> models) throws HttpRequest.HttpRequestException {
+    public String createJob(List<Model> models, boolean sortedData) throws HttpRequest.HttpRequestException {
         Job.Extended job = new Job.Extended();
-        job.sorted_data = true;
+        job.sorted_data = sortedData;
         job.models = models;
         return httpPost(
                 workerURL,
@@ -54,14 +79,96 @@ public class JobHandler {
         httpPost(workerURL + "/" + jobID, "text/csv", csvData);
     }
 
-    public Job.Reduced getJob(String jobID) throws HttpRequest.HttpRequestException, JobFailedException, JobNotDoneException {
-        Job.Reduced job = Json.fromString(httpGet(workerURL + "/" + jobID, "application/json"), Job.Reduced.class);
-        if (job.status.equals("finished")) {
-            return job;
-        } else if (job.status.equals("failed")) {
-            throw new JobFailedException("worker reason: " + job.reason);
+    private String nextNullableString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private ResultValues readResultValues(JsonReader reader) throws IOException {
+        ResultValues values = new ResultValues();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NUMBER) {
+                values.add(reader.nextDouble());
+            } else {
+                values.add(ResultValues.elementAdapter.read(reader));
+            }
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private Map<String, ResultValues> readResult(JsonReader reader) throws IOException {
+        Map<String, ResultValues> result = new LinkedHashMap<>();
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return result;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            result.put(key, readResultValues(reader));
+        }
+        reader.endObject();
+        return result;
+    }
+
+    Map<String, ResultValues> readJobResult(Reader input) throws JobFailedException, JobNotDoneException, InvalidResponseException, IOException {
+        String status = null;
+        String reason = null;
+        Map<String, ResultValues> result = null;
+        try (JsonReader reader = new JsonReader(input)) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "status":
+                        status = nextNullableString(reader);
+                        break;
+                    case "reason":
+                        reason = nextNullableString(reader);
+                        break;
+                    case "result":
+                        result = readResult(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new InvalidResponseException(e.getMessage());
+        }
+        if ("finished".equals(status)) {
+            return result != null ? result : new LinkedHashMap<>();
+        } else if ("failed".equals(status)) {
+            throw new JobFailedException("worker reason: " + reason);
         } else {
-            throw new JobNotDoneException(job.reason);
+            throw new JobNotDoneException(reason);
+        }
+    }
+
+    public Map<String, ResultValues> getJobResult(String jobID) throws JobFailedException, JobNotDoneException, InvalidResponseException, IOException {
+        HttpGet request = new HttpGet(workerURL + "/" + jobID);
+        request.setHeader("Accept", "application/json");
+        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultRequestConfig(requestConfig).build();
+             CloseableHttpResponse response = httpClient.execute(request)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode < 200 || statusCode > 299) {
+                throw new HttpResponseException(statusCode, "retrieving job " + jobID + " failed");
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("empty response for job " + jobID);
+            }
+            return readJobResult(new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8));
         }
     }
 
@@ -76,4 +183,10 @@ public class JobHandler {
             super(errorMessage);
         }
     }
+
+    public static class InvalidResponseException extends Exception {
+        public InvalidResponseException(String errorMessage) {
+            super(errorMessage);
+        }
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package handlers;
+
+
+import com.google.gson.stream.JsonWriter;
+import models.ResultValues;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+public class PredictionHandler {
+    private final Map<String, ResultValues> predictions = new LinkedHashMap<>();
+
+    public void addJobResult(Map<String, ResultValues> jobResult) {
+        for (Map.Entry<String, ResultValues> entry : jobResult.entrySet()) {
+            ResultValues values = predictions.get(entry.getKey());
+            if (values == null) {
+                predictions.put(entry.getKey(), entry.getValue());
+            } else {
+                values.addAll(entry.getValue());
+            }
+        }
+    }
+
+    private void writeValues(JsonWriter writer, ResultValues values) throws IOException {
+        writer.beginArray();
+        if (values.isNumeric()) {
+            for (int i = 0; i < values.size(); i++) {
+                writer.value(values.getNumber(i));
+            }
+        } else {
+            for (int i = 0; i < values.size(); i++) {
+                ResultValues.elementAdapter.write(writer, values.getElement(i));
+            }
+        }
+        writer.endArray();
+    }
+
+    public String getPredictions() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(stringWriter)) {
+            writer.beginObject();
+            for (Map.Entry<String, ResultValues> entry : predictions.entrySet()) {
+                writer.name(entry.getKey());
+                writeValues(writer, entry.getValue());
+            }
+            writer.endObject();
+        }
+        return stringWriter.toString();
+    }
+}
@@ -18,14 +18,12 @@
 package models;
 
 import java.util.List;
-import java.util.Map;
 
 class JobBase {
     public String id;
     public String created;
     public String status;
     public String data_source;
-    public Map<String, List<Object>> result;
     public String reason;
     public boolean sorted_data;
 }
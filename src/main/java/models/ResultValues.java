@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Values of a single result group. Numeric values are kept in a primitive array,
+ * a group switches to generic JSON elements once it contains a non-numeric value.
+ */
+public class ResultValues {
+    public final static TypeAdapter<JsonElement> elementAdapter = new Gson().getAdapter(JsonElement.class);
+    private double[] numbers = new double[64];
+    private List<JsonElement> elements;
+    private int size;
+
+    private void toElements() {
+        elements = new ArrayList<>(Math.max(size, 16));
+        for (int i = 0; i < size; i++) {
+            elements.add(new JsonPrimitive(numbers[i]));
+        }
+        numbers = null;
+    }
+
+    public void add(double value) {
+        if (elements != null) {
+            elements.add(new JsonPrimitive(value));
+        } else {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size] = value;
+        }
+        size++;
+    }
+
+    public void add(JsonElement value) {
+        if (elements == null) {
+            toElements();
+        }
+        elements.add(value);
+        size++;
+    }
+
+    public void addAll(ResultValues values) {
+        if (elements == null && values.elements == null) {
+            if (size + values.size > numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(size + values.size, size * 2));
+            }
+            System.arraycopy(values.numbers, 0, numbers, size, values.size);
+            size += values.size;
+        } else {
+            for (int i = 0; i < values.size; i++) {
+                add(values.getElement(i));
+            }
+        }
+    }
+
+    public boolean isNumeric() {
+        return elements == null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getNumber(int index) {
+        return numbers[index];
+    }
+
+    public JsonElement getElement(int index) {
+        return elements != null ? elements.get(index) : new JsonPrimitive(numbers[index]);
+    }
+}
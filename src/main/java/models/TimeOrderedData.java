@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package models;
+
+import java.util.List;
+import java.util.Map;
+
+public class TimeOrderedData {
+    public final List<Map<String, Object>> data;
+    public final boolean presorted;
+    public final boolean ordered;
+    public final String startTimestamp;
+    public final String endTimestamp;
+
+    public TimeOrderedData(List<Map<String, Object>> data, boolean presorted, boolean ordered, String startTimestamp, String endTimestamp) {
+        this.data = data;
+        this.presorted = presorted;
+        this.ordered = ordered;
+        this.startTimestamp = startTimestamp;
+        this.endTimestamp = endTimestamp;
+    }
+}
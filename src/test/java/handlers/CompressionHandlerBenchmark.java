@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package handlers;
+
+
+import com.google.gson.reflect.TypeToken;
+import org.infai.ses.platonam.util.Compression;
+import org.infai.ses.platonam.util.Json;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Compares decode time and peak heap of Compression.decompressToStream and CompressionHandler.decompressToStream
+ * on a large cached window. Not part of the regular test run, execute with:
+ * mvn test -Dtest=CompressionHandlerBenchmark [-Dbenchmark.points=200000] [-Dbenchmark.fields=21] [-Dbenchmark.runs=5]
+ * Peak heap is read from the heap memory pools and includes garbage not yet collected, therefore it depends on the
+ * garbage collector and heap settings in use.
+ */
+public class CompressionHandlerBenchmark {
+
+    private final static int points = Integer.getInteger("benchmark.points", 200000);
+    private final static int fields = Integer.getInteger("benchmark.fields", 21);
+    private final static int runs = Integer.getInteger("benchmark.runs", 5);
+    private final static int warmupRuns = 2;
+
+    private interface Decompressor {
+        InputStream decompressToStream(String str) throws Exception;
+    }
+
+    private static String createWindow() throws Exception {
+        Random random = new Random(1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(outputStream), StandardCharsets.UTF_8)) {
+            writer.write("[");
+            for (int i = 0; i < points; i++) {
+                if (i > 0) {
+                    writer.write(",");
+                }
+                writer.write("{\"time\":\"2021-01-01T00:00:" + i + "Z\"");
+                for (int f = 1; f < fields; f++) {
+                    writer.write(",\"field_" + f + "\":" + random.nextDouble());
+                }
+                writer.write("}");
+            }
+            writer.write("]");
+        }
+        return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+    }
+
+    private static long usedHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long drain(InputStream inputStream) throws Exception {
+        byte[] buffer = new byte[8192];
+        long count = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) > 0) {
+            count += read;
+        }
+        return count;
+    }
+
+    private static long run(Decompressor decompressor, String window, boolean parse) throws Exception {
+        try (InputStream inputStream = decompressor.decompressToStream(window)) {
+            if (parse) {
+                List<Map<String, Object>> data = Json.fromStreamToList(inputStream, new TypeToken<>() {
+                });
+                return data.size();
+            }
+            return drain(inputStream);
+        }
+    }
+
+    private static long measure(String name, Decompressor decompressor, String window, boolean parse) throws Exception {
+        long result = 0;
+        for (int i = 0; i < warmupRuns; i++) {
+            result = run(decompressor, window, parse);
+        }
+        long time = 0;
+        long peak = 0;
+        for (int i = 0; i < runs; i++) {
+            System.gc();
+            long baseline = usedHeap();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+            long start = System.nanoTime();
+            result = run(decompressor, window, parse);
+            time += System.nanoTime() - start;
+            peak = Math.max(peak, peakHeap() - baseline);
+        }
+        System.out.printf(
+                "%-20s %-16s avg time: %6d ms   max peak heap above baseline: %6.1f MB%n",
+                name,
+                parse ? "decode + parse" : "decode",
+                time / runs / 1000000,
+                peak / 1e6
+        );
+        return result;
+    }
+
+    @Test
+    public void compareDecompression() throws Exception {
+        String window = createWindow();
+        CompressionHandler compressionHandler = new CompressionHandler();
+        System.out.printf("window: %d points, %d fields, %.1f MB Base64%n", points, fields, window.length() / 1e6);
+        for (boolean parse : new boolean[]{false, true}) {
+            long expected = measure("Compression", Compression::decompressToStream, window, parse);
+            long actual = measure("CompressionHandler", compressionHandler::decompressToStream, window, parse);
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package handlers;
+
+
+import models.TimeOrderedData;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+
+public class DataHandlerTest {
+
+    private final DataHandler dataHandler = new DataHandler("time", "", ",");
+
+    private static List<Map<String, Object>> getData(Object... timestamps) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < timestamps.length; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("time", timestamps[i]);
+            item.put("id", i);
+            data.add(item);
+        }
+        return data;
+    }
+
+    private static List<Object> getIDs(TimeOrderedData orderedData) {
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> item : orderedData.data) {
+            ids.add(item.get("id"));
+        }
+        return ids;
+    }
+
+    @Test
+    public void presorted() {
+        List<Map<String, Object>> data = getData("2021-01-01T00:00:00Z", "2021-01-01T00:00:01Z", "2021-01-01T00:00:01Z");
+        TimeOrderedData orderedData = dataHandler.orderByTime(data);
+        assertTrue(orderedData.presorted);
+        assertTrue(orderedData.ordered);
+        assertSame(data, orderedData.data);
+        assertEquals("2021-01-01T00:00:00Z", orderedData.startTimestamp);
+        assertEquals("2021-01-01T00:00:01Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void outOfOrder() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData("2021-01-01T00:00:02Z", "2021-01-01T00:00:00Z", "2021-01-01T00:00:01Z", "2021-01-01T00:00:00Z"));
+        assertFalse(orderedData.presorted);
+        assertTrue(orderedData.ordered);
+        assertEquals(Arrays.asList(1, 3, 2, 0), getIDs(orderedData));
+        assertEquals("2021-01-01T00:00:00Z", orderedData.startTimestamp);
+        assertEquals("2021-01-01T00:00:02Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void offsetTimestamps() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData("2021-01-01T00:00:02Z", "2021-01-01T00:00:00.5Z", "2021-01-01T01:00:00+02:00"));
+        assertFalse(orderedData.presorted);
+        assertEquals(Arrays.asList(2, 1, 0), getIDs(orderedData));
+        assertEquals("2021-01-01T01:00:00+02:00", orderedData.startTimestamp);
+        assertEquals("2021-01-01T00:00:02Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void zoneLessTimestamps() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData("2021-01-01T00:00:01", "2021-01-01T00:00:00"));
+        assertTrue(orderedData.ordered);
+        assertEquals(Arrays.asList(1, 0), getIDs(orderedData));
+    }
+
+    @Test
+    public void missingTimestamps() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData(null, "2021-01-01T00:00:01Z", "2021-01-01T00:00:00Z"));
+        assertFalse(orderedData.ordered);
+        assertEquals(Arrays.asList(2, 1, 0), getIDs(orderedData));
+        assertEquals("2021-01-01T00:00:00Z", orderedData.startTimestamp);
+        assertEquals("2021-01-01T00:00:01Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void unparsableTimestamps() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData("2021-01-01T00:00:01Z", "x", "2021-01-01T00:00:00Z", "1609459200"));
+        assertFalse(orderedData.presorted);
+        assertFalse(orderedData.ordered);
+        assertEquals(Arrays.asList(2, 0, 1, 3), getIDs(orderedData));
+        assertEquals("2021-01-01T00:00:00Z", orderedData.startTimestamp);
+        assertEquals("2021-01-01T00:00:01Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void trailingUnparsableTimestamps() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(getData("2021-01-01T00:00:00Z", "2021-01-01T00:00:01Z", "x"));
+        assertTrue(orderedData.presorted);
+        assertFalse(orderedData.ordered);
+        assertEquals("2021-01-01T00:00:01Z", orderedData.endTimestamp);
+    }
+
+    @Test
+    public void onlyUnparsableTimestamps() {
+        List<Map<String, Object>> data = getData(1.0, 2.0, 10.0);
+        TimeOrderedData orderedData = dataHandler.orderByTime(data);
+        assertTrue(orderedData.presorted);
+        assertFalse(orderedData.ordered);
+        assertSame(data, orderedData.data);
+        assertNull(orderedData.startTimestamp);
+        assertNull(orderedData.endTimestamp);
+    }
+
+    @Test
+    public void empty() {
+        TimeOrderedData orderedData = dataHandler.orderByTime(new ArrayList<>());
+        assertTrue(orderedData.ordered);
+        assertNull(orderedData.startTimestamp);
+        assertNull(orderedData.endTimestamp);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package handlers;
+
+
+import models.ResultValues;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+
+public class JobHandlerTest {
+
+    private final JobHandler jobHandler = new JobHandler("http://localhost", 1);
+
+    private Map<String, ResultValues> read(String response) throws Exception {
+        return jobHandler.readJobResult(new StringReader(response));
+    }
+
+    @Test
+    public void finished() throws Exception {
+        Map<String, ResultValues> result = read("{\"id\":\"1\",\"result\":{\"a\":[1,0.5],\"b\":[{\"target\":1}]},\"models\":[\"m\"],\"status\":\"finished\",\"reason\":null}");
+        assertEquals(2, result.size());
+        assertTrue(result.get("a").isNumeric());
+        assertEquals(2, result.get("a").size());
+        assertEquals(0.5, result.get("a").getNumber(1), 0);
+        assertFalse(result.get("b").isNumeric());
+        assertEquals("{\"target\":1}", result.get("b").getElement(0).toString());
+    }
+
+    @Test
+    public void nullGroups() throws Exception {
+        Map<String, ResultValues> result = read("{\"status\":\"finished\",\"result\":{\"a\":null,\"b\":[]}}");
+        assertFalse(result.containsKey("a"));
+        assertEquals(0, result.get("b").size());
+        assertTrue(read("{\"status\":\"finished\",\"result\":null}").isEmpty());
+        assertTrue(read("{\"status\":\"finished\"}").isEmpty());
+    }
+
+    @Test(expected = JobHandler.JobNotDoneException.class)
+    public void notDone() throws Exception {
+        read("{\"status\":\"running\",\"reason\":null}");
+    }
+
+    @Test(expected = JobHandler.JobFailedException.class)
+    public void failed() throws Exception {
+        read("{\"status\":\"failed\",\"reason\":\"error\"}");
+    }
+
+    @Test(expected = JobHandler.InvalidResponseException.class)
+    public void malformed() throws Exception {
+        read("{\"status\":\"finished\",\"result\":{\"a\":[1,}}");
+    }
+
+    @Test(expected = JobHandler.InvalidResponseException.class)
+    public void unexpectedStructure() throws Exception {
+        read("[\"finished\"]");
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 InfAI (CC SES)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package handlers;
+
+
+import com.google.gson.JsonPrimitive;
+import models.ResultValues;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+
+public class PredictionHandlerTest {
+
+    private static ResultValues getNumbers(double... numbers) {
+        ResultValues values = new ResultValues();
+        for (double number : numbers) {
+            values.add(number);
+        }
+        return values;
+    }
+
+    private static Map<String, ResultValues> getJobResult(String key, ResultValues values) {
+        Map<String, ResultValues> jobResult = new LinkedHashMap<>();
+        jobResult.put(key, values);
+        return jobResult;
+    }
+
+    @Test
+    public void numeric() throws Exception {
+        PredictionHandler predictionHandler = new PredictionHandler();
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(1, 0)));
+        assertEquals("{\"a\":[1.0,0.0]}", predictionHandler.getPredictions());
+    }
+
+    @Test
+    public void mergeJobs() throws Exception {
+        PredictionHandler predictionHandler = new PredictionHandler();
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(1)));
+        predictionHandler.addJobResult(getJobResult("b", getNumbers(2)));
+        ResultValues large = new ResultValues();
+        for (int i = 0; i < 100; i++) {
+            large.add(i);
+        }
+        predictionHandler.addJobResult(getJobResult("a", large));
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(0.5)));
+        String predictions = predictionHandler.getPredictions();
+        assertTrue(predictions.startsWith("{\"a\":[1.0,0.0,1.0,2.0,"));
+        assertTrue(predictions.endsWith(",98.0,99.0,0.5],\"b\":[2.0]}"));
+    }
+
+    @Test
+    public void mergeNumericWithNonNumeric() throws Exception {
+        ResultValues mixed = getNumbers(2);
+        mixed.add(new JsonPrimitive("x"));
+        mixed.add(3);
+        PredictionHandler predictionHandler = new PredictionHandler();
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(1)));
+        predictionHandler.addJobResult(getJobResult("a", mixed));
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(4)));
+        assertEquals("{\"a\":[1.0,2.0,\"x\",3.0,4.0]}", predictionHandler.getPredictions());
+    }
+
+    @Test
+    public void mergeNonNumericWithNumeric() throws Exception {
+        ResultValues values = new ResultValues();
+        values.add(new JsonPrimitive(true));
+        PredictionHandler predictionHandler = new PredictionHandler();
+        predictionHandler.addJobResult(getJobResult("a", values));
+        predictionHandler.addJobResult(getJobResult("a", getNumbers(1, 2)));
+        assertEquals("{\"a\":[true,1.0,2.0]}", predictionHandler.getPredictions());
+    }
+
+    @Test
+    public void empty() throws Exception {
+        PredictionHandler predictionHandler = new PredictionHandler();
+        predictionHandler.addJobResult(new LinkedHashMap<>());
+        predictionHandler.addJobResult(getJobResult("a", new ResultValues()));
+        assertEquals("{\"a\":[]}", predictionHandler.getPredictions());
+    }
+}